@@ -53,6 +53,8 @@ public class Scoreboard {
      *
      * NOTE:
      * We remove and reinsert the match to ensure correct ordering.
+     * Synchronized like the other operations so concurrent summary reads
+     * never observe the list mid-update.
      *
      * @param match             match to update
      * @param homeTeamScore     new home score (>= 0)
@@ -62,7 +64,7 @@ public class Scoreboard {
      *         - scores are negative or too large
      *         - match is not ongoing
      */
-    void updateScore(WorldCupMatch match, long homeTeamScore, long visitorTeamScore) {
+    synchronized void updateScore(WorldCupMatch match, long homeTeamScore, long visitorTeamScore) {
         if (homeTeamScore < 0 || visitorTeamScore < 0
                 || homeTeamScore > Integer.MAX_VALUE
                 || visitorTeamScore > Integer.MAX_VALUE) {
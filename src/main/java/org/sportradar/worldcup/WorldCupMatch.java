@@ -6,8 +6,9 @@ package org.sportradar.worldcup;
  * <p><strong>Ordering rule (conceptual):</strong>
  * <ol>
  *   <li>Total score (descending) — higher scoring matches first</li>
- *   <li>Start time (ascending) — earlier matches first when tied</li>
+ *   <li>Start time (descending) — most recently started match first when tied</li>
  * </ol>
+ * The authoritative implementation is {@link CustomComparator}.
  *
  * <p><strong>Immutability:</strong>
  * <ul>
@@ -0,0 +1,144 @@
+package org.sportradar.worldcup;
+
+/**
+ * Fixed-size latency histogram used by the load tests.
+ *
+ * <p>Values (nanoseconds) are grouped into log-linear buckets: every power
+ * of two is split into 16 equally wide sub-buckets, which keeps the relative
+ * error of reported percentiles at most 1/16 (6.25%) while using constant memory
+ * regardless of how long a soak run lasts.
+ *
+ * <p>Not thread-safe: each thread records into its own instance and the
+ * results are combined with {@link #merge(LatencyHistogram)} afterwards.
+ */
+final class LatencyHistogram {
+
+    /** Number of bits used to split each power of two into sub-buckets. */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /** Number of sub-buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Enough buckets to cover every non-negative long value. */
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** Number of recorded values per bucket. */
+    private final long[] counts = new long[BUCKET_COUNT];
+
+    /** Total number of recorded values. */
+    private long totalCount;
+
+    /** Largest recorded value (exact, not bucketed). */
+    private long max;
+
+    /** Sum of all recorded values (exact, not bucketed). */
+    private long totalNanos;
+
+    /**
+     * Records a single latency sample.
+     *
+     * @param nanos measured latency in nanoseconds (negative values count as 0)
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        totalCount++;
+        max = Math.max(max, value);
+        totalNanos += value;
+    }
+
+    /**
+     * Adds all samples of another histogram to this one.
+     *
+     * @param other histogram to merge (left unchanged)
+     */
+    void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        max = Math.max(max, other.max);
+        totalNanos += other.totalNanos;
+    }
+
+    /** @return number of recorded samples */
+    long count() {
+        return totalCount;
+    }
+
+    /** @return largest recorded sample in nanoseconds */
+    long max() {
+        return max;
+    }
+
+    /** @return sum of all recorded samples in nanoseconds */
+    long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the value at the given percentile.
+     *
+     * <p>The upper bound of the matching bucket is returned, so the result
+     * never under-reports the real latency.
+     *
+     * @param percentile percentile in range (0, 100]
+     * @return latency in nanoseconds, or 0 if nothing was recorded
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    long percentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in range (0, 100]");
+        }
+
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(percentile / 100.0 * totalCount);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), max);
+            }
+        }
+
+        return max;
+    }
+
+    // ---------------------------------------------------------------------
+    // Bucket helpers
+    // ---------------------------------------------------------------------
+
+    /**
+     * Maps a value to its bucket. Values below {@link #SUB_BUCKETS} get an
+     * exact bucket of their own.
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the largest value that maps to the given bucket.
+     */
+    private static long highestValueIn(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long width = 1L << (magnitude - SUB_BUCKET_BITS);
+
+        return (1L << magnitude) + subBucket * width + width - 1;
+    }
+}
@@ -0,0 +1,90 @@
+package org.sportradar.worldcup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link LatencyHistogram} used by the load tests.
+ *
+ * Focus areas:
+ *  - Exact results for small values
+ *  - Bounded error for large values
+ *  - Merging per-thread histograms
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Values below the sub-bucket count are stored exactly.
+     */
+    @Test
+    void shouldReportExactPercentilesForSmallValues() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        // Act + Assert
+        assertEquals(10, histogram.count());
+        assertEquals(5, histogram.percentile(50));
+        assertEquals(10, histogram.percentile(100));
+        assertEquals(10, histogram.max());
+    }
+
+    /**
+     * Large values are bucketed but never under-reported and stay within
+     * the relative error of a bucket.
+     */
+    @Test
+    void shouldStayWithinBucketErrorForLargeValues() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1_000; value <= 1_000_000; value += 1_000) {
+            histogram.record(value);
+        }
+
+        // Act
+        long p99 = histogram.percentile(99);
+
+        // Assert
+        assertTrue(p99 >= 990_000, "p99 must not be under-reported: " + p99);
+        assertTrue(p99 <= 990_000 * 1.07, "p99 should be within bucket error: " + p99);
+        assertEquals(1_000_000, histogram.percentile(100));
+    }
+
+    /**
+     * Merging combines counts and keeps the overall maximum.
+     */
+    @Test
+    void shouldMergeHistograms() {
+        // Arrange
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(3);
+        second.record(7);
+        second.record(1_000_000);
+
+        // Act
+        first.merge(second);
+
+        // Assert
+        assertEquals(3, first.count());
+        assertEquals(1_000_000, first.max());
+        assertEquals(7, first.percentile(50));
+        assertEquals(1_000_010, first.totalNanos());
+    }
+
+    /**
+     * Percentiles outside (0, 100] are rejected.
+     */
+    @Test
+    void shouldRejectInvalidPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(0));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+    }
+}
@@ -0,0 +1,533 @@
+package org.sportradar.worldcup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Soak and latency regression test that replays simulated match days
+ * against the {@link Scoreboard}.
+ *
+ * <p>Each match day is generated from a fixed seed:
+ * <ul>
+ *   <li>Kickoffs are staggered over the day in 15 minute slots</li>
+ *   <li>Goals arrive as a Poisson process per team</li>
+ *   <li>Every match finishes after 90 minutes, half-time and stoppage time</li>
+ * </ul>
+ * Days follow each other on one rolling timeline: the late matches of one
+ * day are still running when the next day kicks off, and the next day is
+ * generated before its first event is due. The board is therefore populated
+ * for almost the whole measured run instead of draining between days.
+ *
+ * <p>A single writer (the test thread) replays the events in time order and
+ * checks the summary against a reference model after every event. The model
+ * computes the expected order itself (total score descending, then start time
+ * descending, as defined by {@link CustomComparator}) and the summary must
+ * list exactly the model's matches and scores in that order. Reader threads
+ * poll {@link Scoreboard#getOngoingMatches()} as fast as they can and check
+ * that every snapshot is internally ordered.
+ *
+ * <p><strong>Limitation:</strong> start times come from the wall clock, so
+ * matches kicked off within the same millisecond share a start time. Such
+ * matches are interchangeable in the expected order; the start time tie-break
+ * is only verified between matches whose start times differ.
+ *
+ * <p>Latencies are recorded in nanoseconds around each scoreboard call only.
+ * Read throughput is the aggregate number of polls per wall-clock second of
+ * the measured run, so contention on the scoreboard lowers it. Write rate and
+ * mean latencies are reported but not budgeted: the writer also generates and
+ * verifies events, so its wall-clock rate mostly measures the test itself.
+ *
+ * <p>Default budgets come from seven runs on a single-core container (five
+ * plain, two with a competing CPU hog). The worst run measured read p99
+ * 0.86µs, 269k reads/s and write p99 6.1µs; each budget allows about 10x
+ * that. The budgets only hold for the default load shape: a larger
+ * matchesPerDay or more readers needs budgets of its own.
+ * <strong>Calibration limit:</strong> on one core the readers never really
+ * compete for the scoreboard monitor, and the p99.9 of both reads and writes
+ * is already in the milliseconds (locks held by descheduled threads). On a
+ * multi-core runner the distribution will differ; re-calibrate the budgets
+ * there through the properties below before relying on them as a CI gate.
+ *
+ * <p>Every failure message includes the seed, the latest generated day
+ * (counted from the first warm-up day) and the event being applied.
+ * Re-running with the same seed and matchesPerDay replays exactly the same
+ * days.
+ *
+ * <p>Configuration (system properties, e.g. {@code mvn test -Dscoreboard.load.durationSeconds=600}):
+ * <ul>
+ *   <li>{@code scoreboard.load.seed} – random seed (default 2026)</li>
+ *   <li>{@code scoreboard.load.durationSeconds} – measured run time (default 2)</li>
+ *   <li>{@code scoreboard.load.warmupDays} – unmeasured match days played first (default 200)</li>
+ *   <li>{@code scoreboard.load.matchesPerDay} – matches per simulated day (default 32)</li>
+ *   <li>{@code scoreboard.load.readers} – polling reader threads (default 4)</li>
+ *   <li>{@code scoreboard.load.maxReadP99Nanos} – read p99 budget (default 9000)</li>
+ *   <li>{@code scoreboard.load.maxWriteP99Nanos} – write p99 budget (default 60000)</li>
+ *   <li>{@code scoreboard.load.minReadsPerSecond} – aggregate read throughput floor (default 27000)</li>
+ * </ul>
+ */
+class MatchDayLoadTest {
+
+    /** Kickoffs are spread over this many 15 minute slots (12 hours). */
+    private static final int KICKOFF_SLOTS = 48;
+
+    /** Length of a simulated day; the next day starts right after the last kickoff slot. */
+    private static final double DAY_MINUTES = KICKOFF_SLOTS * 15.0;
+
+    /** Average goals per match for the home team. */
+    private static final double HOME_GOALS_PER_MATCH = 1.5;
+
+    /** Average goals per match for the visitor team. */
+    private static final double VISITOR_GOALS_PER_MATCH = 1.2;
+
+    private final long seed = Long.getLong("scoreboard.load.seed", 2026L);
+    private final long durationSeconds = Long.getLong("scoreboard.load.durationSeconds", 2L);
+    private final int warmupDays = Integer.getInteger("scoreboard.load.warmupDays", 200);
+    private final int matchesPerDay = Integer.getInteger("scoreboard.load.matchesPerDay", 32);
+    private final int readerCount = Integer.getInteger("scoreboard.load.readers", 4);
+    // Calibrated on a single core only, see class comment
+    private final long maxReadP99Nanos = Long.getLong("scoreboard.load.maxReadP99Nanos", 9_000L);
+    private final long maxWriteP99Nanos = Long.getLong("scoreboard.load.maxWriteP99Nanos", 60_000L);
+    private final long minReadsPerSecond = Long.getLong("scoreboard.load.minReadsPerSecond", 27_000L);
+
+    /** System under test. */
+    private Scoreboard scoreboard;
+
+    /** Reference model: ongoing matches keyed by home team name. */
+    private Map<String, ModelMatch> model;
+
+    /** Latencies of startMatch / updateScore / endMatch calls. */
+    private LatencyHistogram writeLatency;
+
+    /** Set once warm-up is over; only then are samples recorded. */
+    private volatile boolean measuring;
+
+    /** Tells the readers to stop polling. */
+    private volatile boolean running;
+
+    /** Latest generated match day, published for {@link #context()}. */
+    private volatile int day;
+
+    /** Event currently applied by the writer (null when idle). */
+    private volatile MatchEvent currentEvent;
+
+    /**
+     * Creates a fresh {@link Scoreboard} and reference model before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        scoreboard = new Scoreboard();
+        model = new HashMap<>();
+        writeLatency = new LatencyHistogram();
+    }
+
+    /**
+     * Plays match days for the configured duration while readers poll the
+     * summary, then verifies correctness, throughput and latency budgets.
+     */
+    @Test
+    void shouldKeepOrderingAndLatencyUnderMatchDayLoad() throws InterruptedException {
+        // Arrange: start readers, they wait for the latch
+        AtomicReference<Throwable> readerFailure = new AtomicReference<>();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Reader> readers = new ArrayList<>();
+        List<Thread> readerThreads = new ArrayList<>();
+
+        running = true;
+        for (int i = 0; i < readerCount; i++) {
+            Reader reader = new Reader(startSignal, readerFailure);
+            Thread thread = new Thread(reader, "scoreboard-reader-" + i);
+            thread.setDaemon(true);
+            readers.add(reader);
+            readerThreads.add(thread);
+            thread.start();
+        }
+
+        Random random = new Random(seed);
+        PriorityQueue<MatchEvent> schedule = new PriorityQueue<>(Comparator.comparingDouble(MatchEvent::minute)
+                .thenComparing(MatchEvent::type)
+                .thenComparingInt(MatchEvent::day)
+                .thenComparingInt(MatchEvent::match));
+
+        System.out.printf("Match-day load: seed=%d durationSeconds=%d warmupDays=%d matchesPerDay=%d readers=%d"
+                        + " maxReadP99Nanos=%d maxWriteP99Nanos=%d minReadsPerSecond=%d%n",
+                seed, durationSeconds, warmupDays, matchesPerDay, readerCount,
+                maxReadP99Nanos, maxWriteP99Nanos, minReadsPerSecond);
+        startSignal.countDown();
+
+        // Act: rolling schedule; measure from the first day after warm-up until the deadline
+        try {
+            int nextDay = 0;
+            long start = 0;
+            long deadline = Long.MAX_VALUE;
+
+            while (readerFailure.get() == null) {
+                MatchEvent next = schedule.peek();
+
+                if (next == null || next.minute() >= nextDay * DAY_MINUTES) {
+                    if (nextDay == warmupDays) {
+                        measuring = true;
+                        start = System.nanoTime();
+                        deadline = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+                    }
+                    if (System.nanoTime() >= deadline) {
+                        break;
+                    }
+
+                    generateMatchDay(random, nextDay, schedule);
+                    day = nextDay++;
+                    continue;
+                }
+
+                applyAndVerify(schedule.poll());
+            }
+
+            long elapsed = System.nanoTime() - start;
+            measuring = false;
+            int measuredDays = nextDay - warmupDays;
+
+            // Drain the days already started so the board ends empty
+            while (!schedule.isEmpty() && readerFailure.get() == null) {
+                applyAndVerify(schedule.poll());
+            }
+            currentEvent = null;
+            running = false;
+
+            for (Thread thread : readerThreads) {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+                assertFalse(thread.isAlive(), thread.getName() + " did not stop within 10s (" + context() + ")");
+            }
+
+            // Assert: readers never saw a broken snapshot, board drained cleanly
+            assertNull(readerFailure.get(), () -> "Reader failed: " + readerFailure.get());
+            assertTrue(model.isEmpty(), "All matches should be finished after draining (" + context() + ")");
+            assertTrue(scoreboard.getOngoingMatches().isEmpty(),
+                    "Scoreboard should be empty after draining (" + context() + ")");
+
+            LatencyHistogram readLatency = new LatencyHistogram();
+            long emptyReads = 0;
+            for (Reader reader : readers) {
+                readLatency.merge(reader.latency);
+                emptyReads += reader.emptyReads;
+            }
+
+            double seconds = elapsed / 1e9;
+            double readsPerSecond = readLatency.count() / seconds;
+
+            System.out.printf("Match-day load: seed=%d measured=%.1fs days=%d (of which warm-up %d)"
+                            + " emptyReads=%.1f%%%n",
+                    seed, seconds, nextDay, warmupDays,
+                    readLatency.count() == 0 ? 0.0 : 100.0 * emptyReads / readLatency.count());
+            report("writes", writeLatency, writeLatency.count() / seconds);
+            report("reads ", readLatency, readsPerSecond);
+
+            assertTrue(measuredDays > 0, "At least one match day should be measured (" + context() + ")");
+            assertTrue(readsPerSecond >= minReadsPerSecond,
+                    "Read throughput regressed: " + (long) readsPerSecond + "/s (seed=" + seed + ")");
+            assertTrue(readLatency.percentile(99) <= maxReadP99Nanos,
+                    "Read p99 latency regressed: " + readLatency.percentile(99) + "ns (seed=" + seed + ")");
+            assertTrue(writeLatency.percentile(99) <= maxWriteP99Nanos,
+                    "Write p99 latency regressed: " + writeLatency.percentile(99) + "ns (seed=" + seed + ")");
+        } finally {
+            running = false;
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Match day simulation
+    // ---------------------------------------------------------------------
+
+    /**
+     * Adds the events of one match day to the rolling schedule.
+     */
+    private void generateMatchDay(Random random, int dayIndex, PriorityQueue<MatchEvent> schedule) {
+        double dayStart = dayIndex * DAY_MINUTES;
+
+        for (int match = 0; match < matchesPerDay; match++) {
+            double kickoff = dayStart + random.nextInt(KICKOFF_SLOTS) * 15.0;
+            double stoppage = random.nextInt(9);
+
+            schedule.add(new MatchEvent(kickoff, dayIndex, match, EventType.KICK_OFF));
+            addGoals(schedule, random, kickoff, dayIndex, match, EventType.HOME_GOAL, HOME_GOALS_PER_MATCH);
+            addGoals(schedule, random, kickoff, dayIndex, match, EventType.VISITOR_GOAL, VISITOR_GOALS_PER_MATCH);
+            schedule.add(new MatchEvent(kickoff + 105 + stoppage, dayIndex, match, EventType.FINAL_WHISTLE));
+        }
+    }
+
+    /**
+     * Adds Poisson-distributed goals for one team: inter-arrival times are
+     * exponential over the 90 minutes of play, shifted by half-time.
+     */
+    private void addGoals(PriorityQueue<MatchEvent> schedule, Random random, double kickoff,
+                          int dayIndex, int match, EventType type, double goalsPerMatch) {
+        double rate = goalsPerMatch / 90.0;
+        double played = -Math.log(1 - random.nextDouble()) / rate;
+
+        while (played < 90) {
+            double minute = played < 45 ? played : played + 15;
+            schedule.add(new MatchEvent(kickoff + minute, dayIndex, match, type));
+            played += -Math.log(1 - random.nextDouble()) / rate;
+        }
+    }
+
+    /**
+     * Applies an event and checks the summary against the reference model.
+     */
+    private void applyAndVerify(MatchEvent event) {
+        currentEvent = event;
+        apply(event);
+        verifyAgainstModel();
+    }
+
+    /**
+     * Applies a single event to both the scoreboard and the reference model.
+     */
+    private void apply(MatchEvent event) {
+        // Team names carry the day so matches of overlapping days never clash
+        String homeTeam = "Home" + event.day() + "x" + event.match();
+        String visitorTeam = "Visitor" + event.day() + "x" + event.match();
+
+        if (event.type() == EventType.KICK_OFF) {
+            long start = System.nanoTime();
+            WorldCupMatch match = scoreboard.startMatch(homeTeam, visitorTeam);
+            recordWrite(start);
+
+            model.put(homeTeam, new ModelMatch(match, visitorTeam));
+            return;
+        }
+
+        ModelMatch expected = model.get(homeTeam);
+        assertNotNull(expected, "Event for a match that is not ongoing (" + context() + ")");
+
+        long start = System.nanoTime();
+        switch (event.type()) {
+            case HOME_GOAL -> scoreboard.updateScore(
+                    expected.match, expected.homeScore + 1, expected.visitorScore);
+            case VISITOR_GOAL -> scoreboard.updateScore(
+                    expected.match, expected.homeScore, expected.visitorScore + 1);
+            default -> scoreboard.endMatch(expected.match);
+        }
+        recordWrite(start);
+
+        switch (event.type()) {
+            case HOME_GOAL -> expected.homeScore++;
+            case VISITOR_GOAL -> expected.visitorScore++;
+            default -> model.remove(homeTeam);
+        }
+    }
+
+    private void recordWrite(long start) {
+        long latency = System.nanoTime() - start;
+        if (measuring) {
+            writeLatency.record(latency);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Verification
+    // ---------------------------------------------------------------------
+
+    /**
+     * Checks the summary line by line against the order computed from the
+     * model: exactly the model's matches and scores, and at every position a
+     * match with the same total and start time as the expected one. Matches
+     * sharing both are interchangeable (see class comment).
+     */
+    private void verifyAgainstModel() {
+        List<ModelMatch> expectedOrder = new ArrayList<>(model.values());
+        expectedOrder.sort(Comparator.comparingInt(ModelMatch::totalScore).reversed()
+                .thenComparing(Comparator.comparingLong(ModelMatch::startTime).reversed()));
+
+        List<String> summary = scoreboard.getOngoingMatches();
+        String context = context();
+        assertEquals(expectedOrder.size(), summary.size(), "Summary size should match the model (" + context + ")");
+
+        Set<String> seenHomeTeams = new HashSet<>();
+        for (int i = 0; i < summary.size(); i++) {
+            String line = summary.get(i);
+            String[] parts = line.split(" ");
+            assertEquals(6, parts.length, "Unexpected summary line '" + line + "' (" + context + ")");
+            assertEquals(String.valueOf(i + 1), parts[0], "Positions should be consecutive (" + context + ")");
+
+            ModelMatch actual = model.get(parts[1]);
+            assertNotNull(actual, "Unknown match '" + line + "' (" + context + ")");
+            assertTrue(seenHomeTeams.add(parts[1]), "Match listed twice '" + line + "' (" + context + ")");
+            assertEquals(String.valueOf(actual.homeScore), parts[2],
+                    "Home score differs from model '" + line + "' (" + context + ")");
+            assertEquals(actual.visitorTeam, parts[4],
+                    "Visitor team differs from model '" + line + "' (" + context + ")");
+            assertEquals(String.valueOf(actual.visitorScore), parts[5],
+                    "Visitor score differs from model '" + line + "' (" + context + ")");
+
+            ModelMatch expected = expectedOrder.get(i);
+            assertTrue(actual.totalScore() == expected.totalScore() && actual.startTime() == expected.startTime(),
+                    "Position " + (i + 1) + " should hold a match with total " + expected.totalScore()
+                            + " started at " + expected.startTime() + ": " + summary + " (" + context + ")");
+        }
+
+        assertEquals(model.keySet(), seenHomeTeams, "Summary should list every ongoing match (" + context + ")");
+    }
+
+    /**
+     * Checks a snapshot taken concurrently with the writer: positions are
+     * consecutive and total scores never increase down the list. At most two
+     * days overlap on the rolling timeline.
+     */
+    private void verifySnapshot(List<String> summary) {
+        if (summary.size() > 2 * matchesPerDay) {
+            throw new AssertionError("More matches than scheduled: " + summary + " (" + context() + ")");
+        }
+
+        long previousTotal = Long.MAX_VALUE;
+        for (int i = 0; i < summary.size(); i++) {
+            String[] parts = summary.get(i).split(" ");
+            if (parts.length != 6 || !parts[0].equals(String.valueOf(i + 1))) {
+                throw new AssertionError("Malformed summary line '" + summary.get(i) + "' (" + context() + ")");
+            }
+
+            long total = Long.parseLong(parts[2]) + Long.parseLong(parts[5]);
+            if (total > previousTotal) {
+                throw new AssertionError("Snapshot is not ordered: " + summary + " (" + context() + ")");
+            }
+            previousTotal = total;
+        }
+    }
+
+    /**
+     * Describes where the writer is, so a failure can be replayed.
+     * Readers see the writer's position at roughly the time of failure.
+     */
+    private String context() {
+        return "seed=" + seed + ", matchesPerDay=" + matchesPerDay
+                + ", day=" + day + ", event=" + currentEvent;
+    }
+
+    // ---------------------------------------------------------------------
+    // Reporting
+    // ---------------------------------------------------------------------
+
+    private static void report(String label, LatencyHistogram latency, double perSecond) {
+        System.out.printf("  %s: count=%d (%.0f/s) mean=%.2fus p50=%.2fus p90=%.2fus p99=%.2fus"
+                        + " p99.9=%.2fus max=%.2fus%n",
+                label,
+                latency.count(),
+                perSecond,
+                latency.count() == 0 ? 0.0 : micros(latency.totalNanos()) / latency.count(),
+                micros(latency.percentile(50)),
+                micros(latency.percentile(90)),
+                micros(latency.percentile(99)),
+                micros(latency.percentile(99.9)),
+                micros(latency.max()));
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    // ---------------------------------------------------------------------
+    // Helper types
+    // ---------------------------------------------------------------------
+
+    /** Event kinds, in the order they are applied when sharing a minute. */
+    private enum EventType {
+        KICK_OFF,
+        HOME_GOAL,
+        VISITOR_GOAL,
+        FINAL_WHISTLE
+    }
+
+    /**
+     * A single scheduled event.
+     *
+     * @param minute minute on the rolling timeline
+     * @param day    index of the match day
+     * @param match  index of the match within the day
+     * @param type   what happens
+     */
+    private record MatchEvent(double minute, int day, int match, EventType type) {
+    }
+
+    /**
+     * Reference model entry for an ongoing match.
+     */
+    private static final class ModelMatch {
+
+        private final WorldCupMatch match;
+        private final String visitorTeam;
+        private int homeScore;
+        private int visitorScore;
+
+        private ModelMatch(WorldCupMatch match, String visitorTeam) {
+            this.match = match;
+            this.visitorTeam = visitorTeam;
+        }
+
+        private int totalScore() {
+            return homeScore + visitorScore;
+        }
+
+        private long startTime() {
+            return match.getStartTime();
+        }
+    }
+
+    /**
+     * Polls the summary until stopped, recording latency of every call
+     * made while the test is measuring.
+     */
+    private final class Reader implements Runnable {
+
+        private final CountDownLatch startSignal;
+        private final AtomicReference<Throwable> failure;
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        /** Measured polls that found no ongoing match. */
+        private long emptyReads;
+
+        private Reader(CountDownLatch startSignal, AtomicReference<Throwable> failure) {
+            this.startSignal = startSignal;
+            this.failure = failure;
+        }
+
+        @Override
+        public void run() {
+            try {
+                startSignal.await();
+
+                while (running) {
+                    long start = System.nanoTime();
+                    List<String> summary = scoreboard.getOngoingMatches();
+                    long elapsed = System.nanoTime() - start;
+
+                    if (measuring) {
+                        latency.record(elapsed);
+                        if (summary.isEmpty()) {
+                            emptyReads++;
+                        }
+                    }
+                    verifySnapshot(summary);
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        }
+    }
+}